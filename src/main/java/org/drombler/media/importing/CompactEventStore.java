@@ -0,0 +1,162 @@
+package org.drombler.media.importing;
+
+import org.drombler.event.core.Event;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * An immutable, read-optimized date to events mapping.
+ * <p>
+ * The days are stored as sorted epoch days with the events of each day as a range of indices into a single array of
+ * distinct events. Each event is stored once, regardless of how many days it spans. Lookups of the first event of a
+ * day are a binary search and don't allocate.
+ * <p>
+ * Event names are not interned: the names are owned by the {@link Event} instances parsed by the media storages, which
+ * are referenced as they are. Storing each event only once removes the per-day copies instead.
+ *
+ * @author Florian
+ */
+class CompactEventStore {
+
+    private static final int[] NO_INDICES = new int[0];
+    private static final Event[] NO_EVENTS = new Event[0];
+
+    /**
+     * The sorted epoch days having at least one event.
+     */
+    private final int[] epochDays;
+    /**
+     * The events of {@code epochDays[i]} are {@code dayEventIndices[dayEventOffsets[i]]} up to (exclusive)
+     * {@code dayEventIndices[dayEventOffsets[i + 1]]}.
+     */
+    private final int[] dayEventOffsets;
+    private final int[] dayEventIndices;
+    /**
+     * The distinct events sorted by the event comparator.
+     */
+    private final Event[] events;
+
+    private CompactEventStore(int[] epochDays, int[] dayEventOffsets, int[] dayEventIndices, Event[] events) {
+        this.epochDays = epochDays;
+        this.dayEventOffsets = dayEventOffsets;
+        this.dayEventIndices = dayEventIndices;
+        this.events = events;
+    }
+
+    public static CompactEventStore empty() {
+        return new CompactEventStore(NO_INDICES, new int[]{0}, NO_INDICES, NO_EVENTS);
+    }
+
+    /**
+     * Builds a new store.
+     *
+     * @param eventMap the events per day, each sorted by the eventComparator
+     * @param eventComparator the event comparator
+     * @return the new store
+     */
+    public static CompactEventStore of(Map<LocalDate, SortedSet<Event>> eventMap, Comparator<Event> eventComparator) {
+        SortedSet<Event> distinctEvents = new TreeSet<>(eventComparator);
+        List<LocalDate> dates = new ArrayList<>(eventMap.size());
+        int dayEventCount = 0;
+        for (Map.Entry<LocalDate, SortedSet<Event>> entry : eventMap.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                dates.add(entry.getKey());
+                distinctEvents.addAll(entry.getValue());
+                dayEventCount += entry.getValue().size();
+            }
+        }
+        Collections.sort(dates);
+
+        Event[] events = distinctEvents.toArray(new Event[distinctEvents.size()]);
+        int[] epochDays = new int[dates.size()];
+        int[] dayEventOffsets = new int[dates.size() + 1];
+        int[] dayEventIndices = new int[dayEventCount];
+        int offset = 0;
+        for (int i = 0; i < dates.size(); i++) {
+            epochDays[i] = Math.toIntExact(dates.get(i).toEpochDay());
+            dayEventOffsets[i] = offset;
+            for (Event event : eventMap.get(dates.get(i))) {
+                dayEventIndices[offset++] = Arrays.binarySearch(events, event, eventComparator);
+            }
+        }
+        dayEventOffsets[dates.size()] = offset;
+        return new CompactEventStore(epochDays, dayEventOffsets, dayEventIndices, events);
+    }
+
+    /**
+     * @return the index of the day or a negative value, if there is no event on that day
+     */
+    private int indexOf(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            return -1;
+        }
+        return Arrays.binarySearch(epochDays, (int) epochDay);
+    }
+
+    public boolean hasEvent(LocalDate date) {
+        return indexOf(date) >= 0;
+    }
+
+    /**
+     * Gets the first event of the specified day.
+     *
+     * @param date the day
+     * @return the first event of the day or null, if there is no event
+     */
+    public Event getFirstEvent(LocalDate date) {
+        int index = indexOf(date);
+        return index >= 0 ? events[dayEventIndices[dayEventOffsets[index]]] : null;
+    }
+
+    /**
+     * Gets the events of the specified day.
+     *
+     * @param date the day
+     * @return the sorted events of the day (empty if there is no event)
+     */
+    public List<Event> getEvents(LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        List<Event> dayEvents = new ArrayList<>(dayEventOffsets[index + 1] - dayEventOffsets[index]);
+        for (int i = dayEventOffsets[index]; i < dayEventOffsets[index + 1]; i++) {
+            dayEvents.add(events[dayEventIndices[i]]);
+        }
+        return dayEvents;
+    }
+
+    /**
+     * @return all distinct events sorted by the event comparator
+     */
+    public List<Event> getAllEvents() {
+        return Collections.unmodifiableList(Arrays.asList(events));
+    }
+
+    /**
+     * Copies the events back into a date to events map.
+     *
+     * @param eventComparator the event comparator
+     * @return a mutable date to events map
+     */
+    public Map<LocalDate, SortedSet<Event>> toEventMap(Comparator<Event> eventComparator) {
+        Map<LocalDate, SortedSet<Event>> eventMap = new HashMap<>(epochDays.length * 4 / 3 + 1);
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            SortedSet<Event> dayEvents = new TreeSet<>(eventComparator);
+            dayEvents.addAll(getEvents(date));
+            eventMap.put(date, dayEvents);
+        }
+        return eventMap;
+    }
+
+    public int getDayCount() {
+        return epochDays.length;
+    }
+
+    public int getEventCount() {
+        return events.length;
+    }
+}
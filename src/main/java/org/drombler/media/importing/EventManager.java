@@ -9,15 +9,21 @@ import org.softsmithy.lib.text.FormatException;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
+ * Manages the events per day.
+ * <p>
+ * Events are first collected in a mutable map while loading. Once loaded, {@link #compact()} moves them to a
+ * {@link CompactEventStore}, which is queried from the import hot path. Events added afterwards are kept in the mutable
+ * map, which takes precedence over the compact store.
+ *
  * @author Florian
  */
 @Slf4j
 public class EventManager {
 
-    private final Map<LocalDate, SortedSet<Event>> events = new HashMap<>();
+    private Map<LocalDate, SortedSet<Event>> events = new HashMap<>();
+    private CompactEventStore compactEventStore = CompactEventStore.empty();
     private final Comparator<EventDuration> eventDurationComparator = new ImportEventDurationComparator();
     private final Comparator<Event> eventComparator = Comparator.comparing(Event::getDuration, eventDurationComparator)
             .thenComparing(Event::getName);
@@ -33,10 +39,11 @@ public class EventManager {
         final AllDayEventDuration duration = (AllDayEventDuration) event.getDuration();
         duration.iterator().forEachRemaining(date -> {
             if (!events.containsKey(date)) {
-                events.put(date, new TreeSet<>(eventComparator));
+                SortedSet<Event> dateEvents = new TreeSet<>(eventComparator);
+                dateEvents.addAll(compactEventStore.getEvents(date));
+                events.put(date, dateEvents);
             }
-            if (!events.get(date).contains(event)) {
-                events.get(date).add(event);
+            if (events.get(date).add(event) && log.isDebugEnabled()) {
                 String eventDirName = getFormattedEventDirName(event);
                 log.debug(date + ": " + event.getName() + " - " + eventDirName);
             }
@@ -53,23 +60,60 @@ public class EventManager {
         }
     }
 
+    /**
+     * Moves all events to a compact, read-optimized store. Should be called once all events have been loaded.
+     */
+    public void compact() {
+        if (!events.isEmpty()) {
+            Map<LocalDate, SortedSet<Event>> allEvents = compactEventStore.toEventMap(eventComparator);
+            allEvents.putAll(events);
+            compactEventStore = CompactEventStore.of(allEvents, eventComparator);
+            events = new HashMap<>();
+        }
+    }
+
     public Event getAndUpdateFirstEvent(LocalDate date) {
-        if (!hasEvent(date)) {
+        Event firstEvent = getFirstEvent(date);
+        if (firstEvent == null) {
             updateEventMap(createEvent(date));
+            firstEvent = getFirstEvent(date);
         }
-        return getFirstEvent(date);
+        return firstEvent;
     }
 
     public boolean hasEvent(LocalDate date) {
-        return events.containsKey(date) && !events.get(date).isEmpty();
+        SortedSet<Event> dateEvents = events.get(date);
+        return dateEvents != null ? !dateEvents.isEmpty() : compactEventStore.hasEvent(date);
     }
 
+    /**
+     * Gets the first event of the specified day.
+     *
+     * @param date the day
+     * @return the first event of the day or null, if there is no event
+     */
     public Event getFirstEvent(LocalDate date) {
-        return events.get(date).first();
+        SortedSet<Event> dateEvents = events.get(date);
+        if (dateEvents != null) {
+            return !dateEvents.isEmpty() ? dateEvents.first() : null;
+        } else {
+            return compactEventStore.getFirstEvent(date);
+        }
     }
 
+    /**
+     * Gets the events of the specified day.
+     *
+     * @param date the day
+     * @return an unmodifiable set of the sorted events of the day or null, if there is no event
+     */
     public SortedSet<Event> getEvents(LocalDate date) {
-        return events.get(date);
+        SortedSet<Event> dateEvents = events.get(date);
+        if (dateEvents == null && compactEventStore.hasEvent(date)) {
+            dateEvents = new TreeSet<>(eventComparator);
+            dateEvents.addAll(compactEventStore.getEvents(date));
+        }
+        return dateEvents != null ? Collections.unmodifiableSortedSet(dateEvents) : null;
     }
 
     private Event createEvent(LocalDate date) {
@@ -79,9 +123,54 @@ public class EventManager {
                 .build();
     }
 
-    public SortedSet<Event> getAllEvents() {
-        return events.values().stream()
-                .flatMap(Collection::stream)
-                .collect(Collectors.toCollection(() -> new TreeSet<>(eventComparator)));
+    /**
+     * Gets all distinct events. If no events have been added since the last {@link #compact()}, this is the sorted
+     * list of the compact store without copying.
+     *
+     * @return an unmodifiable list of all distinct events sorted by duration and name
+     */
+    public List<Event> getAllEvents() {
+        if (events.isEmpty()) {
+            return compactEventStore.getAllEvents();
+        }
+        SortedSet<Event> newEvents = new TreeSet<>(eventComparator);
+        events.values().forEach(newEvents::addAll);
+        List<Event> compactedEvents = compactEventStore.getAllEvents();
+        List<Event> allEvents = new ArrayList<>(compactedEvents.size() + newEvents.size());
+        Iterator<Event> newEventsIterator = newEvents.iterator();
+        Event newEvent = nextOrNull(newEventsIterator);
+        for (Event compactedEvent : compactedEvents) {
+            while (newEvent != null && eventComparator.compare(newEvent, compactedEvent) < 0) {
+                allEvents.add(newEvent);
+                newEvent = nextOrNull(newEventsIterator);
+            }
+            if (newEvent != null && eventComparator.compare(newEvent, compactedEvent) == 0) {
+                newEvent = nextOrNull(newEventsIterator);
+            }
+            allEvents.add(compactedEvent);
+        }
+        while (newEvent != null) {
+            allEvents.add(newEvent);
+            newEvent = nextOrNull(newEventsIterator);
+        }
+        return Collections.unmodifiableList(allEvents);
+    }
+
+    private static Event nextOrNull(Iterator<Event> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * @return the number of days with at least one compacted event
+     */
+    public int getCompactedDayCount() {
+        return compactEventStore.getDayCount();
+    }
+
+    /**
+     * @return the number of distinct compacted events
+     */
+    public int getCompactedEventCount() {
+        return compactEventStore.getEventCount();
     }
 }
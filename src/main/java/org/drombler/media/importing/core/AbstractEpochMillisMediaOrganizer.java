@@ -0,0 +1,53 @@
+package org.drombler.media.importing.core;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base class for media organizers of sources encoding the capture time as epoch millis in the first group of the raw
+ * date pattern. The date is calculated in the zone of the source rather than in the system default zone using an
+ * {@link EpochDayConverter}.
+ *
+ * @author Florian
+ */
+public abstract class AbstractEpochMillisMediaOrganizer extends AbstractMediaOrganizer {
+
+    private final EpochDayConverter epochDayConverter;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mediaRootDir the media root dir
+     * @param rawDatePattern the raw date pattern
+     * @param directories true, if the raw date pattern matches directories rather than files
+     * @param sourceId the source id used to look up the configured zone
+     * @param zoneId the zone of the source or null to use the configured zone of the source
+     * @throws IOException
+     * @see #getZoneId(String)
+     */
+    protected AbstractEpochMillisMediaOrganizer(Path mediaRootDir, Pattern rawDatePattern, boolean directories, String sourceId, ZoneId zoneId) throws IOException {
+        this(mediaRootDir, rawDatePattern, directories, getBundledMediaStoragesConfig(), sourceId, zoneId);
+    }
+
+    protected AbstractEpochMillisMediaOrganizer(Path mediaRootDir, Pattern rawDatePattern, boolean directories, URL mediaStoragesConfig, String sourceId, ZoneId zoneId) throws IOException {
+        super(mediaRootDir, rawDatePattern, directories, mediaStoragesConfig);
+        this.epochDayConverter = new EpochDayConverter(zoneId != null ? zoneId : getZoneId(sourceId));
+    }
+
+    /**
+     * @return the zone of the source
+     */
+    public ZoneId getZoneId() {
+        return epochDayConverter.getZoneId();
+    }
+
+    @Override
+    protected LocalDate getDate(final Matcher matcher) throws NumberFormatException {
+        return epochDayConverter.toLocalDate(Long.parseLong(matcher.group(1)));
+    }
+}
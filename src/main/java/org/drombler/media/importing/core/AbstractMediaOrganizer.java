@@ -18,11 +18,13 @@ import org.softsmithy.lib.text.FormatException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.logging.LogManager;
 import java.util.regex.Matcher;
@@ -36,6 +38,8 @@ import java.util.stream.Stream;
 @Slf4j
 public abstract class AbstractMediaOrganizer {
 
+    private static final String ZONE_ID_SYSTEM_PROPERTY_PREFIX = "org.drombler.media.importing.";
+
     private final Map<MediaStorageType, EventManager> eventManagers = new EnumMap<>(MediaStorageType.class);
     private final Path mediaRootDir;
     private final Pattern rawDatePattern;
@@ -49,6 +53,7 @@ public abstract class AbstractMediaOrganizer {
     private final MediaCategoryManager mediaCategoryManager = new MediaCategoryManager();
     private final MediaStorageManager mediaStorageManager = new MediaStorageManager(mediaCategoryManager);
     private final FileMigrationOperation fileMigrationOperation;
+    private final Properties mediaImportingProperties = new Properties();
 
     protected final static void initLogger() throws IOException {
         // TODO: extend and use JarFiles (SoftSmithy)
@@ -59,14 +64,28 @@ public abstract class AbstractMediaOrganizer {
     }
 
     protected AbstractMediaOrganizer(Path mediaRootDir, Pattern rawDatePattern, boolean directories) throws IOException {
+        this(mediaRootDir, rawDatePattern, directories, getBundledMediaStoragesConfig());
+    }
+
+    /**
+     * @return the bundled {@code media-storages.json}
+     */
+    static URL getBundledMediaStoragesConfig() {
+        return AbstractMediaOrganizer.class.getResource("media-storages.json");
+    }
+
+    /**
+     * Creates a new instance using the specified media storage configuration instead of the bundled
+     * {@code media-storages.json}, e.g. for synthetic datasets.
+     */
+    protected AbstractMediaOrganizer(Path mediaRootDir, Pattern rawDatePattern, boolean directories, URL mediaStoragesConfig) throws IOException {
         this.rawDatePattern = rawDatePattern;
         this.directories = directories;
-        try (InputStream is = AbstractMediaOrganizer.class.getResourceAsStream("media-storages.json")) {
+        try (InputStream is = mediaStoragesConfig.openStream()) {
             mediaStorageManager.loadJsonConfig(is);
         }
         Arrays.stream(MediaStorageType.values()).forEach(type -> eventManagers.put(type, new EventManager()));
 
-        Properties mediaImportingProperties = new Properties();
         try (InputStream is = AbstractMediaOrganizer.class.getResourceAsStream("media-importing.properties")) {
             mediaImportingProperties.load(is);
         }
@@ -113,6 +132,8 @@ public abstract class AbstractMediaOrganizer {
         for (MediaStorage videoImportStorage : videoImportStorages) {
             importUnamedEventCandidates(videoImportStorage);
         }
+
+        eventManagers.values().forEach(EventManager::compact);
     }
 
 
@@ -255,6 +276,24 @@ public abstract class AbstractMediaOrganizer {
         }
     }
 
+    /**
+     * Gets the configured zone of a source which doesn't encode the local date, e.g. an epoch based source. The zone is
+     * looked up in the following order:
+     * <ol>
+     * <li>the system property {@code org.drombler.media.importing.<sourceId>.zoneId}</li>
+     * <li>the property {@code <sourceId>.zoneId} of {@code media-importing.properties}</li>
+     * <li>the property {@code defaultZoneId} of {@code media-importing.properties}</li>
+     * </ol>
+     *
+     * @param sourceId the source id, e.g. "threema"
+     * @return the configured zone of the source
+     */
+    protected ZoneId getZoneId(String sourceId) {
+        String key = sourceId + ".zoneId";
+        String zoneId = System.getProperty(ZONE_ID_SYSTEM_PROPERTY_PREFIX + key, mediaImportingProperties.getProperty(key));
+        return ZoneId.of(zoneId != null ? zoneId : mediaImportingProperties.getProperty("defaultZoneId"));
+    }
+
     protected abstract LocalDate getDate(Matcher matcher);
 
 }
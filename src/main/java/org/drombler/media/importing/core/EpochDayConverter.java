@@ -0,0 +1,103 @@
+package org.drombler.media.importing.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts epoch millis to the epoch day in a given time zone.
+ * <p>
+ * The offset transitions of the zone are cached as primitive arrays up to {@value #MAX_CACHED_YEAR}, so
+ * {@link #toEpochDay(long)} of instants before that year is a binary search and doesn't allocate. Later instants of
+ * zones with ongoing transitions fall back to the {@link ZoneRules}. {@link #toLocalDate(long)} additionally creates
+ * the {@link LocalDate}.
+ *
+ * @author Florian
+ */
+public class EpochDayConverter {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int MAX_CACHED_YEAR = 2100;
+    private static final Instant CACHE_START = LocalDate.of(1900, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    private static final Instant CACHE_END = LocalDate.of(MAX_CACHED_YEAR, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+    private final ZoneId zoneId;
+    private final ZoneRules zoneRules;
+    /**
+     * The sorted transition instants.
+     */
+    private final long[] transitionEpochMillis;
+    /**
+     * {@code offsetMillis[0]} is the offset before the first transition, {@code offsetMillis[i + 1]} the offset after
+     * {@code transitionEpochMillis[i]}.
+     */
+    private final int[] offsetMillis;
+    private final long cacheEndEpochMilli;
+
+    public EpochDayConverter(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.zoneRules = zoneId.getRules();
+
+        List<ZoneOffsetTransition> transitions = new ArrayList<>(zoneRules.getTransitions());
+        Instant instant = transitions.isEmpty() ? CACHE_START : transitions.get(transitions.size() - 1).getInstant();
+        for (ZoneOffsetTransition transition = zoneRules.nextTransition(instant);
+                transition != null && transition.getInstant().isBefore(CACHE_END);
+                transition = zoneRules.nextTransition(transition.getInstant())) {
+            transitions.add(transition);
+        }
+
+        this.transitionEpochMillis = new long[transitions.size()];
+        this.offsetMillis = new int[transitions.size() + 1];
+        offsetMillis[0] = toMillis(transitions.isEmpty() ? zoneRules.getOffset(CACHE_START) : transitions.get(0).getOffsetBefore());
+        for (int i = 0; i < transitions.size(); i++) {
+            transitionEpochMillis[i] = transitions.get(i).getInstant().toEpochMilli();
+            offsetMillis[i + 1] = toMillis(transitions.get(i).getOffsetAfter());
+        }
+        this.cacheEndEpochMilli = zoneRules.getTransitionRules().isEmpty() ? Long.MAX_VALUE : CACHE_END.toEpochMilli();
+    }
+
+    private static int toMillis(ZoneOffset offset) {
+        return offset.getTotalSeconds() * 1000;
+    }
+
+    /**
+     * @return the zone
+     */
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Gets the epoch day of the specified instant in this zone.
+     *
+     * @param epochMilli the instant in epoch millis
+     * @return the epoch day
+     */
+    public long toEpochDay(long epochMilli) {
+        return Math.floorDiv(epochMilli + getOffsetMillis(epochMilli), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Gets the local date of the specified instant in this zone.
+     *
+     * @param epochMilli the instant in epoch millis
+     * @return the local date
+     */
+    public LocalDate toLocalDate(long epochMilli) {
+        return LocalDate.ofEpochDay(toEpochDay(epochMilli));
+    }
+
+    private int getOffsetMillis(long epochMilli) {
+        if (epochMilli >= cacheEndEpochMilli) {
+            return toMillis(zoneRules.getOffset(Instant.ofEpochMilli(epochMilli)));
+        }
+        int index = Arrays.binarySearch(transitionEpochMillis, epochMilli);
+        return offsetMillis[index >= 0 ? index + 1 : -index - 1];
+    }
+}
@@ -6,6 +6,7 @@
 package org.drombler.media.importing.iphone;
 
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
@@ -37,6 +38,10 @@ public class IPhoneMobileMediaOrganizer extends AbstractMediaOrganizer {
         super(mediaRootDir, RAW_DATE_PATTERN, false);
     }
 
+    public IPhoneMobileMediaOrganizer(Path mediaRootDir, URL mediaStoragesConfig) throws IOException {
+        super(mediaRootDir, RAW_DATE_PATTERN, false, mediaStoragesConfig);
+    }
+
     @Override
     protected LocalDate getDate(Matcher matcher) {
         return RAW_DATE_FORMATTER.parse(matcher.group(1), LocalDate::from);
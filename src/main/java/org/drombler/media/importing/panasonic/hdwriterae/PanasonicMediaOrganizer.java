@@ -6,6 +6,7 @@
 package org.drombler.media.importing.panasonic.hdwriterae;
 
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
@@ -39,6 +40,10 @@ public class PanasonicMediaOrganizer extends AbstractMediaOrganizer {
         super(mediaRootDir, RAW_DATE_PATTERN, true);
     }
 
+    public PanasonicMediaOrganizer(Path mediaRootDir, URL mediaStoragesConfig) throws IOException {
+        super(mediaRootDir, RAW_DATE_PATTERN, true, mediaStoragesConfig);
+    }
+
     @Override
     protected LocalDate getDate(Matcher matcher) {
         return RAW_DATE_FORMATTER.parse(matcher.group(), LocalDate::from);
@@ -6,6 +6,7 @@
 package org.drombler.media.importing.samsung.galaxy;
 
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
@@ -39,6 +40,10 @@ public class SamsungMobileMediaOrganizer extends AbstractMediaOrganizer {
         super(mediaRootDir, RAW_DATE_PATTERN, false);
     }
 
+    public SamsungMobileMediaOrganizer(Path mediaRootDir, URL mediaStoragesConfig) throws IOException {
+        super(mediaRootDir, RAW_DATE_PATTERN, false, mediaStoragesConfig);
+    }
+
     @Override
     protected LocalDate getDate(Matcher matcher) {
         return RAW_DATE_FORMATTER.parse(matcher.group(1), LocalDate::from);
@@ -6,16 +6,14 @@
 package org.drombler.media.importing.samsung.galaxy;
 
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
-import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.drombler.identity.core.DromblerId;
 import org.drombler.identity.core.DromblerUserId;
+import org.drombler.media.importing.core.AbstractEpochMillisMediaOrganizer;
 import org.drombler.media.importing.core.AbstractMediaOrganizer;
 
 /**
@@ -23,9 +21,10 @@ import org.drombler.media.importing.core.AbstractMediaOrganizer;
  *
  * @author Florian
  */
-public class ThreemaMediaOrganizer extends AbstractMediaOrganizer {
+public class ThreemaMediaOrganizer extends AbstractEpochMillisMediaOrganizer {
 
     private static final Pattern RAW_DATE_PATTERN = Pattern.compile("\\d+(\\d{13}).*");
+    private static final String SOURCE_ID = "threema";
 
     public static void main(String[] args) throws IOException {
         initLogger();
@@ -36,15 +35,26 @@ public class ThreemaMediaOrganizer extends AbstractMediaOrganizer {
         organizer.organize();
     }
 
+    /**
+     * Creates a new instance using the configured zone of the "threema" source.
+     *
+     * @param mediaRootDir the media root dir
+     * @throws IOException
+     * @see AbstractMediaOrganizer#getZoneId(String)
+     */
     public ThreemaMediaOrganizer(Path mediaRootDir) throws IOException {
-        super(mediaRootDir, RAW_DATE_PATTERN, false);
+        this(mediaRootDir, (ZoneId) null);
     }
 
-    @Override
-    protected LocalDate getDate(final Matcher matcher) throws NumberFormatException {
-        Instant instant = Instant.ofEpochMilli(Long.parseLong(matcher.group(1)));
-        ZonedDateTime zdt = instant.atZone(ZoneId.systemDefault());
-        LocalDate date = zdt.toLocalDate();
-        return date;
+    public ThreemaMediaOrganizer(Path mediaRootDir, ZoneId zoneId) throws IOException {
+        super(mediaRootDir, RAW_DATE_PATTERN, false, SOURCE_ID, zoneId);
+    }
+
+    public ThreemaMediaOrganizer(Path mediaRootDir, URL mediaStoragesConfig) throws IOException {
+        this(mediaRootDir, mediaStoragesConfig, null);
+    }
+
+    public ThreemaMediaOrganizer(Path mediaRootDir, URL mediaStoragesConfig, ZoneId zoneId) throws IOException {
+        super(mediaRootDir, RAW_DATE_PATTERN, false, mediaStoragesConfig, SOURCE_ID, zoneId);
     }
 }
@@ -0,0 +1,159 @@
+package org.drombler.media.importing;
+
+import org.drombler.event.core.AllDayEventDuration;
+import org.drombler.event.core.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Florian
+ */
+public class EventManagerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 10);
+
+    private static final Comparator<Event> EVENT_COMPARATOR = Comparator.comparing(Event::getDuration, new ImportEventDurationComparator())
+            .thenComparing(Event::getName);
+
+    @Test
+    public void compactMultiDayEventStoredOnce() {
+        Event event = createEvent("Ferien", DATE, DATE.plusDays(2));
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(event);
+
+        eventManager.compact();
+
+        assertEquals(1, eventManager.getCompactedEventCount());
+        assertEquals(3, eventManager.getCompactedDayCount());
+        for (LocalDate date = DATE; !date.isAfter(DATE.plusDays(2)); date = date.plusDays(1)) {
+            assertTrue(eventManager.hasEvent(date));
+            assertSame(event, eventManager.getFirstEvent(date));
+        }
+        assertEquals(Arrays.asList(event), eventManager.getAllEvents());
+    }
+
+    @Test
+    public void compactKeepsDayOrder() {
+        List<Event> events = Arrays.asList(
+                createEvent("Konzert", DATE, DATE),
+                createEvent("Ferien", DATE.minusDays(2), DATE.plusDays(1)),
+                createEvent("Ausflug", DATE, DATE),
+                createEvent("Hochzeit", DATE, DATE.plusDays(1)),
+                createEvent("Geburtstag", DATE.minusDays(1), DATE));
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(events);
+        List<Event> eventsBeforeCompact = new ArrayList<>(eventManager.getEvents(DATE));
+
+        eventManager.compact();
+
+        SortedSet<Event> expectedEvents = new TreeSet<>(EVENT_COMPARATOR);
+        expectedEvents.addAll(events);
+        assertIterableEquals(expectedEvents, eventsBeforeCompact);
+        assertIterableEquals(expectedEvents, eventManager.getEvents(DATE));
+        assertSame(expectedEvents.first(), eventManager.getFirstEvent(DATE));
+        assertIterableEquals(expectedEvents, eventManager.getAllEvents());
+    }
+
+    @Test
+    public void updateEventMapAfterCompact() {
+        Event compactedEvent = createEvent("Konzert", DATE, DATE.plusDays(1));
+        Event newEvent = createEvent("Ausflug", DATE, DATE);
+        Event newLaterEvent = createEvent("Wanderung", DATE.plusDays(5), DATE.plusDays(5));
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(compactedEvent);
+        eventManager.compact();
+
+        eventManager.updateEventMap(newEvent);
+        eventManager.updateEventMap(newLaterEvent);
+
+        assertIterableEquals(Arrays.asList(newEvent, compactedEvent), eventManager.getEvents(DATE));
+        assertSame(newEvent, eventManager.getFirstEvent(DATE));
+        assertSame(compactedEvent, eventManager.getFirstEvent(DATE.plusDays(1)));
+        assertSame(newLaterEvent, eventManager.getFirstEvent(DATE.plusDays(5)));
+        assertEquals(Arrays.asList(newEvent, compactedEvent, newLaterEvent), eventManager.getAllEvents());
+    }
+
+    @Test
+    public void compactTwice() {
+        Event compactedEvent = createEvent("Konzert", DATE, DATE.plusDays(1));
+        Event newEvent = createEvent("Ausflug", DATE, DATE);
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(compactedEvent);
+        eventManager.compact();
+        eventManager.updateEventMap(newEvent);
+
+        eventManager.compact();
+
+        assertEquals(2, eventManager.getCompactedEventCount());
+        assertEquals(2, eventManager.getCompactedDayCount());
+        assertIterableEquals(Arrays.asList(newEvent, compactedEvent), eventManager.getEvents(DATE));
+        assertSame(compactedEvent, eventManager.getFirstEvent(DATE.plusDays(1)));
+        assertEquals(Arrays.asList(newEvent, compactedEvent), eventManager.getAllEvents());
+    }
+
+    @Test
+    public void noEvent() {
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(createEvent("Konzert", DATE, DATE));
+        assertNoEvent(eventManager, DATE.plusDays(1));
+
+        eventManager.compact();
+
+        assertNoEvent(eventManager, DATE.minusDays(1));
+        assertNoEvent(eventManager, DATE.plusDays(1));
+        assertNoEvent(eventManager, LocalDate.MIN);
+        assertNoEvent(eventManager, LocalDate.MAX);
+    }
+
+    @Test
+    public void getAndUpdateFirstEventAfterCompact() {
+        EventManager eventManager = new EventManager();
+        eventManager.compact();
+
+        Event event = eventManager.getAndUpdateFirstEvent(DATE);
+
+        assertTrue(event.isUnnamed());
+        assertTrue(eventManager.hasEvent(DATE));
+        assertSame(event, eventManager.getAndUpdateFirstEvent(DATE));
+    }
+
+    @Test
+    public void resultsUnmodifiable() {
+        Event compactedEvent = createEvent("Konzert", DATE, DATE);
+        Event newEvent = createEvent("Ausflug", DATE.plusDays(1), DATE.plusDays(1));
+        EventManager eventManager = new EventManager();
+        eventManager.updateEventMap(compactedEvent);
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getEvents(DATE).clear());
+
+        eventManager.compact();
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getEvents(DATE).clear());
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getAllEvents().clear());
+
+        eventManager.updateEventMap(newEvent);
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getEvents(DATE.plusDays(1)).clear());
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getAllEvents().clear());
+        assertEquals(Arrays.asList(compactedEvent, newEvent), eventManager.getAllEvents());
+    }
+
+    private static void assertNoEvent(EventManager eventManager, LocalDate date) {
+        assertFalse(eventManager.hasEvent(date));
+        assertNull(eventManager.getFirstEvent(date));
+        assertNull(eventManager.getEvents(date));
+    }
+
+    private static Event createEvent(String name, LocalDate startDate, LocalDate endDate) {
+        return Event.builder()
+                .name(name)
+                .duration(new AllDayEventDuration(startDate, endDate))
+                .build();
+    }
+}
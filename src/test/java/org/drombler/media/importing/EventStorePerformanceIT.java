@@ -0,0 +1,113 @@
+package org.drombler.media.importing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.drombler.event.core.AllDayEventDuration;
+import org.drombler.event.core.Event;
+import org.drombler.media.core.MediaStorageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reports the heap usage of the {@link EventManager}s of all {@link MediaStorageType}s before and after
+ * {@link EventManager#compact()} as well as the lookup time of the import hot path, and verifies that the lookups don't
+ * allocate. Run with {@code mvn verify -Pperf}.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ * <li>{@code perf.years}: number of years covered by the events (default: 20)</li>
+ * <li>{@code perf.seed}: random seed of the events (default: 42)</li>
+ * <li>{@code perf.lookupRounds}: number of lookups of every day (default: 100)</li>
+ * </ul>
+ *
+ * @author Florian
+ */
+@Slf4j
+public class EventStorePerformanceIT {
+
+    private static final long KB = 1024;
+
+    private static final int YEARS = Integer.getInteger("perf.years", 20);
+    private static final long SEED = Long.getLong("perf.seed", 42L);
+    private static final int LOOKUP_ROUNDS = Integer.getInteger("perf.lookupRounds", 100);
+
+    @Test
+    public void compactAndLookup() {
+        LocalDate lastDate = LocalDate.of(2019, 12, 31);
+        LocalDate firstDate = lastDate.minusYears(YEARS).plusDays(1);
+        Map<MediaStorageType, List<Event>> events = createEvents(firstDate, lastDate, new Random(SEED));
+
+        long baselineHeap = Benchmarks.getUsedHeap();
+        Map<MediaStorageType, EventManager> eventManagers = new EnumMap<>(MediaStorageType.class);
+        events.forEach((type, typeEvents) -> {
+            EventManager eventManager = new EventManager();
+            eventManager.updateEventMap(typeEvents);
+            eventManagers.put(type, eventManager);
+        });
+        long mapHeap = Benchmarks.getUsedHeap() - baselineHeap;
+        eventManagers.values().forEach(EventManager::compact);
+        long compactHeap = Benchmarks.getUsedHeap() - baselineHeap;
+
+        int eventCount = eventManagers.values().stream().mapToInt(EventManager::getCompactedEventCount).sum();
+        int dayCount = eventManagers.values().stream().mapToInt(EventManager::getCompactedDayCount).sum();
+        log.info("{} events on {} days: map {} KB, compact {} KB", eventCount, dayCount, mapHeap / KB, compactHeap / KB);
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        // warm up
+        lookup(eventManagers, dates, LOOKUP_ROUNDS);
+        long allocatedBytesStart = Benchmarks.getAllocatedBytes();
+        long lookupStart = System.nanoTime();
+        int hits = lookup(eventManagers, dates, LOOKUP_ROUNDS);
+        long lookupNanos = System.nanoTime() - lookupStart;
+        long allocatedBytes = Benchmarks.getAllocatedBytes() - allocatedBytesStart;
+
+        long lookups = (long) dates.size() * eventManagers.size() * LOOKUP_ROUNDS;
+        log.info("{} lookups ({} hits): {} ns/lookup, {} bytes allocated", lookups, hits,
+                String.format("%.1f", (double) lookupNanos / lookups), allocatedBytes);
+        // allow for some unrelated allocations (e.g. by the JIT compiler) but not for one per lookup
+        assertTrue(allocatedBytes < lookups, "Lookups allocated " + allocatedBytes + " bytes");
+    }
+
+    private static Map<MediaStorageType, List<Event>> createEvents(LocalDate firstDate, LocalDate lastDate, Random random) {
+        Map<MediaStorageType, List<Event>> events = new EnumMap<>(MediaStorageType.class);
+        long days = ChronoUnit.DAYS.between(firstDate, lastDate) + 1;
+        for (MediaStorageType type : MediaStorageType.values()) {
+            List<Event> typeEvents = new ArrayList<>();
+            for (int i = 0; i < days / 3; i++) {
+                LocalDate startDate = firstDate.plusDays(random.nextInt((int) days));
+                LocalDate endDate = startDate.plusDays(random.nextInt(3));
+                typeEvents.add(Event.builder()
+                        .name("Event " + type + " " + i)
+                        .duration(new AllDayEventDuration(startDate, endDate))
+                        .build());
+            }
+            events.put(type, typeEvents);
+        }
+        return events;
+    }
+
+    private static int lookup(Map<MediaStorageType, EventManager> eventManagers, List<LocalDate> dates, int lookupRounds) {
+        int hits = 0;
+        for (int round = 0; round < lookupRounds; round++) {
+            for (EventManager eventManager : eventManagers.values()) {
+                for (LocalDate date : dates) {
+                    if (eventManager.getFirstEvent(date) != null) {
+                        hits++;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+}
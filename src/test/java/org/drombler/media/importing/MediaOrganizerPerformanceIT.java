@@ -0,0 +1,206 @@
+package org.drombler.media.importing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.drombler.media.importing.core.AbstractMediaOrganizer;
+import org.drombler.media.importing.iphone.IPhoneMobileMediaOrganizer;
+import org.drombler.media.importing.panasonic.hdwriterae.PanasonicMediaOrganizer;
+import org.drombler.media.importing.samsung.galaxy.SamsungMobileMediaOrganizer;
+import org.drombler.media.importing.synthetic.SyntheticMediaDataset;
+import org.drombler.media.importing.synthetic.SyntheticMediaDatasetGenerator;
+import org.drombler.media.importing.synthetic.SyntheticNamingScheme;
+import org.drombler.media.importing.threema.ThreemaMediaOrganizer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end performance regression test of {@link AbstractMediaOrganizer#organize()} against synthetic datasets. Run
+ * with {@code mvn verify -Pperf}.
+ * <p>
+ * Each naming scheme is organized once for warm-up and then {@code perf.runs} times. The test fails if the median
+ * throughput is below {@code perf.minFilesPerSecond} or the median retained heap exceeds {@code perf.maxRetainedHeapMB}.
+ * Both limits can be overridden per naming scheme, e.g. {@code perf.THREEMA.minFilesPerSecond}. The retained heap is
+ * the used heap after garbage collection once {@code organize()} has finished, while the organizer is still reachable,
+ * minus the used heap before creating it.
+ * <p>
+ * If {@code media-organizer-performance-baseline.properties} contains an entry for the naming scheme and file count,
+ * the test additionally fails if the values regress by more than {@code perf.tolerance} compared to it. The measured
+ * values are written to {@code perf.resultFile} in the same format, so they can be copied to the baseline of the node
+ * running the performance tests.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ * <li>{@code perf.fileCount}: number of inbox files per naming scheme (default: 10000)</li>
+ * <li>{@code perf.years}: number of years covered by the albums and the inbox (default: 20)</li>
+ * <li>{@code perf.seed}: random seed of the dataset (default: 42)</li>
+ * <li>{@code perf.zoneId}: zone of epoch based naming schemes (default: Europe/Zurich)</li>
+ * <li>{@code perf.runs}: number of measured runs (default: 3)</li>
+ * <li>{@code perf.minFilesPerSecond}: minimum throughput (default: 100)</li>
+ * <li>{@code perf.maxRetainedHeapMB}: maximum retained heap (default: 128)</li>
+ * <li>{@code perf.tolerance}: allowed relative regression compared to the baseline (default: 0.25)</li>
+ * <li>{@code perf.resultFile}: file to write the measured values to (default:
+ * target/media-organizer-performance.properties)</li>
+ * </ul>
+ *
+ * @author Florian
+ */
+@Slf4j
+public class MediaOrganizerPerformanceIT {
+
+    private static final String BASELINE_RESOURCE = "media-organizer-performance-baseline.properties";
+    private static final long MB = 1024 * 1024;
+
+    private static final int FILE_COUNT = Integer.getInteger("perf.fileCount", 10000);
+    private static final int YEARS = Integer.getInteger("perf.years", 20);
+    private static final long SEED = Long.getLong("perf.seed", 42L);
+    private static final ZoneId ZONE_ID = ZoneId.of(System.getProperty("perf.zoneId", "Europe/Zurich"));
+    private static final int RUNS = Integer.getInteger("perf.runs", 3);
+    private static final String DEFAULT_MIN_FILES_PER_SECOND = "100";
+    private static final String DEFAULT_MAX_RETAINED_HEAP_MB = "128";
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    private static final Path RESULT_FILE = Paths.get(System.getProperty("perf.resultFile", "target/media-organizer-performance.properties"));
+
+    @ParameterizedTest
+    @EnumSource(SyntheticNamingScheme.class)
+    public void organize(SyntheticNamingScheme namingScheme) throws IOException {
+        LocalDate lastDate = LocalDate.of(2019, 12, 31);
+        SyntheticMediaDatasetGenerator generator = new SyntheticMediaDatasetGenerator(SEED, lastDate.minusYears(YEARS).plusDays(1),
+                lastDate, ZONE_ID);
+
+        run(generator, namingScheme);
+
+        double[] filesPerSecond = new double[RUNS];
+        long[] retainedHeapBytes = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            RunResult result = run(generator, namingScheme);
+            filesPerSecond[i] = result.getFilesPerSecond();
+            retainedHeapBytes[i] = result.retainedHeapBytes;
+        }
+        Arrays.sort(filesPerSecond);
+        Arrays.sort(retainedHeapBytes);
+        double medianFilesPerSecond = filesPerSecond[RUNS / 2];
+        double medianRetainedHeapMB = (double) retainedHeapBytes[RUNS / 2] / MB;
+        log.info("{}: {} files, {} files/s, retained heap {} MB", namingScheme, FILE_COUNT,
+                String.format("%.1f", medianFilesPerSecond), String.format("%.1f", medianRetainedHeapMB));
+
+        String keyPrefix = namingScheme + "." + FILE_COUNT;
+        writeResult(keyPrefix, medianFilesPerSecond, medianRetainedHeapMB);
+
+        assertFilesPerSecond(namingScheme, medianFilesPerSecond, Double.parseDouble(getLimit(namingScheme, "minFilesPerSecond", DEFAULT_MIN_FILES_PER_SECOND)));
+        assertRetainedHeapMB(namingScheme, medianRetainedHeapMB, Double.parseDouble(getLimit(namingScheme, "maxRetainedHeapMB", DEFAULT_MAX_RETAINED_HEAP_MB)));
+
+        Properties baseline = loadBaseline();
+        String baselineFilesPerSecond = baseline.getProperty(keyPrefix + ".filesPerSecond");
+        if (baselineFilesPerSecond != null) {
+            assertFilesPerSecond(namingScheme, medianFilesPerSecond, Double.parseDouble(baselineFilesPerSecond) * (1 - TOLERANCE));
+        }
+        String baselineRetainedHeapMB = baseline.getProperty(keyPrefix + ".retainedHeapMB");
+        if (baselineRetainedHeapMB != null) {
+            assertRetainedHeapMB(namingScheme, medianRetainedHeapMB, Double.parseDouble(baselineRetainedHeapMB) * (1 + TOLERANCE));
+        }
+    }
+
+    private static String getLimit(SyntheticNamingScheme namingScheme, String name, String defaultValue) {
+        return System.getProperty("perf." + namingScheme + "." + name, System.getProperty("perf." + name, defaultValue));
+    }
+
+    private static void assertFilesPerSecond(SyntheticNamingScheme namingScheme, double filesPerSecond, double minFilesPerSecond) {
+        assertTrue(filesPerSecond >= minFilesPerSecond, namingScheme + ": throughput " + String.format("%.1f", filesPerSecond)
+                + " files/s < " + String.format("%.1f", minFilesPerSecond) + " files/s");
+    }
+
+    private static void assertRetainedHeapMB(SyntheticNamingScheme namingScheme, double retainedHeapMB, double maxRetainedHeapMB) {
+        assertTrue(retainedHeapMB <= maxRetainedHeapMB, namingScheme + ": retained heap " + String.format("%.1f", retainedHeapMB)
+                + " MB > " + String.format("%.1f", maxRetainedHeapMB) + " MB");
+    }
+
+    private static RunResult run(SyntheticMediaDatasetGenerator generator, SyntheticNamingScheme namingScheme) throws IOException {
+        SyntheticMediaDataset dataset = generator.generate(Files.createTempDirectory("media-organizer-performance-"), namingScheme, FILE_COUNT);
+        try {
+            long usedHeapBefore = Benchmarks.getUsedHeap();
+            AbstractMediaOrganizer mediaOrganizer = createMediaOrganizer(dataset);
+            long organizeStart = System.nanoTime();
+            mediaOrganizer.organize();
+            long organizeNanos = System.nanoTime() - organizeStart;
+            long retainedHeapBytes = Benchmarks.getUsedHeap() - usedHeapBefore;
+            // keeps the organizer reachable until after the measurement
+            log.debug("{} retained {} bytes", mediaOrganizer, retainedHeapBytes);
+            return new RunResult(dataset.getFileCount(), organizeNanos, retainedHeapBytes);
+        } finally {
+            dataset.delete();
+        }
+    }
+
+    private static AbstractMediaOrganizer createMediaOrganizer(SyntheticMediaDataset dataset) throws IOException {
+        URL mediaStoragesConfig = dataset.getMediaStoragesConfigFile().toUri().toURL();
+        switch (dataset.getNamingScheme()) {
+            case IPHONE:
+                return new IPhoneMobileMediaOrganizer(dataset.getMediaRootDir(), mediaStoragesConfig);
+            case SAMSUNG:
+                return new SamsungMobileMediaOrganizer(dataset.getMediaRootDir(), mediaStoragesConfig);
+            case THREEMA:
+                return new ThreemaMediaOrganizer(dataset.getMediaRootDir(), mediaStoragesConfig, ZONE_ID);
+            case PANASONIC:
+                return new PanasonicMediaOrganizer(dataset.getMediaRootDir(), mediaStoragesConfig);
+            default:
+                throw new IllegalArgumentException("Unsupported naming scheme: " + dataset.getNamingScheme());
+        }
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream is = MediaOrganizerPerformanceIT.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            if (is != null) {
+                baseline.load(is);
+            }
+        }
+        return baseline;
+    }
+
+    private static synchronized void writeResult(String keyPrefix, double filesPerSecond, double retainedHeapMB) throws IOException {
+        Properties result = new Properties();
+        if (Files.exists(RESULT_FILE)) {
+            try (InputStream is = Files.newInputStream(RESULT_FILE)) {
+                result.load(is);
+            }
+        } else if (RESULT_FILE.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(RESULT_FILE.toAbsolutePath().getParent());
+        }
+        result.setProperty(keyPrefix + ".filesPerSecond", String.format(Locale.ROOT, "%.1f", filesPerSecond));
+        result.setProperty(keyPrefix + ".retainedHeapMB", String.format(Locale.ROOT, "%.1f", retainedHeapMB));
+        try (OutputStream os = Files.newOutputStream(RESULT_FILE)) {
+            result.store(os, "Measured media organizer performance");
+        }
+    }
+
+    private static class RunResult {
+
+        private final int fileCount;
+        private final long organizeNanos;
+        private final long retainedHeapBytes;
+
+        public RunResult(int fileCount, long organizeNanos, long retainedHeapBytes) {
+            this.fileCount = fileCount;
+            this.organizeNanos = organizeNanos;
+            this.retainedHeapBytes = retainedHeapBytes;
+        }
+
+        public double getFilesPerSecond() {
+            return fileCount * 1000000000.0 / Math.max(organizeNanos, 1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.drombler.media.importing.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.drombler.media.importing.Benchmarks;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the {@link EpochDayConverter} with the conversion via {@link Instant} and {@link java.time.ZonedDateTime}
+ * regarding time and allocations. Run with {@code mvn verify -Pperf}.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ * <li>{@code perf.zoneId}: the zone (default: Europe/Zurich)</li>
+ * <li>{@code perf.conversions}: number of conversions (default: 1000000)</li>
+ * <li>{@code perf.seed}: random seed of the epoch millis (default: 42)</li>
+ * </ul>
+ *
+ * @author Florian
+ */
+@Slf4j
+public class EpochDayConverterPerformanceIT {
+
+    private static final ZoneId ZONE_ID = ZoneId.of(System.getProperty("perf.zoneId", "Europe/Zurich"));
+    private static final int CONVERSIONS = Integer.getInteger("perf.conversions", 1000000);
+    private static final long SEED = Long.getLong("perf.seed", 42L);
+
+    @Test
+    public void toEpochDay() {
+        long firstEpochMilli = LocalDate.of(2000, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        long lastEpochMilli = LocalDate.of(2020, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        Random random = new Random(SEED);
+        long[] epochMillis = new long[CONVERSIONS];
+        for (int i = 0; i < CONVERSIONS; i++) {
+            epochMillis[i] = firstEpochMilli + (long) (random.nextDouble() * (lastEpochMilli - firstEpochMilli));
+        }
+        EpochDayConverter epochDayConverter = new EpochDayConverter(ZONE_ID);
+
+        // warm up
+        convertZonedDateTime(epochMillis, ZONE_ID);
+        convertEpochDayConverter(epochMillis, epochDayConverter);
+
+        long allocatedBytesStart = Benchmarks.getAllocatedBytes();
+        long start = System.nanoTime();
+        long zonedDateTimeChecksum = convertZonedDateTime(epochMillis, ZONE_ID);
+        long zonedDateTimeNanos = System.nanoTime() - start;
+        long zonedDateTimeAllocatedBytes = Benchmarks.getAllocatedBytes() - allocatedBytesStart;
+
+        allocatedBytesStart = Benchmarks.getAllocatedBytes();
+        start = System.nanoTime();
+        long epochDayConverterChecksum = convertEpochDayConverter(epochMillis, epochDayConverter);
+        long epochDayConverterNanos = System.nanoTime() - start;
+        long epochDayConverterAllocatedBytes = Benchmarks.getAllocatedBytes() - allocatedBytesStart;
+
+        log.info("{} conversions in {}: ZonedDateTime {} ns/conversion, {} bytes allocated; EpochDayConverter {} ns/conversion, {} bytes allocated",
+                CONVERSIONS, ZONE_ID,
+                String.format("%.1f", (double) zonedDateTimeNanos / CONVERSIONS), zonedDateTimeAllocatedBytes,
+                String.format("%.1f", (double) epochDayConverterNanos / CONVERSIONS), epochDayConverterAllocatedBytes);
+
+        assertEquals(zonedDateTimeChecksum, epochDayConverterChecksum);
+        // allow for some unrelated allocations (e.g. by the JIT compiler) but not for one per conversion
+        assertTrue(epochDayConverterAllocatedBytes < CONVERSIONS, "Conversions allocated " + epochDayConverterAllocatedBytes + " bytes");
+    }
+
+    private static long convertZonedDateTime(long[] epochMillis, ZoneId zoneId) {
+        long checksum = 0;
+        for (long epochMilli : epochMillis) {
+            checksum += Instant.ofEpochMilli(epochMilli).atZone(zoneId).toLocalDate().toEpochDay();
+        }
+        return checksum;
+    }
+
+    private static long convertEpochDayConverter(long[] epochMillis, EpochDayConverter epochDayConverter) {
+        long checksum = 0;
+        for (long epochMilli : epochMillis) {
+            checksum += epochDayConverter.toEpochDay(epochMilli);
+        }
+        return checksum;
+    }
+}
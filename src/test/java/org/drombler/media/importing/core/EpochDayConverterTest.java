@@ -0,0 +1,103 @@
+package org.drombler.media.importing.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Florian
+ */
+public class EpochDayConverterTest {
+
+    private static final ZoneId ZURICH = ZoneId.of("Europe/Zurich");
+
+    @Test
+    public void toEpochDayAroundDstTransitions() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+
+        assertAroundEqual(converter, Instant.parse("2019-03-31T01:00:00Z").toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("2019-10-27T01:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void toEpochDayAroundMidnight() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+
+        // local midnight in summer and winter time
+        assertAroundEqual(converter, Instant.parse("2019-07-01T22:00:00Z").toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("2019-12-31T23:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void toEpochDayAllTransitions() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+
+        for (ZoneOffsetTransition transition : ZURICH.getRules().getTransitions()) {
+            assertAroundEqual(converter, transition.getInstant().toEpochMilli());
+        }
+    }
+
+    @Test
+    public void toEpochDayBeforeFirstTransition() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+        ZoneOffsetTransition firstTransition = ZURICH.getRules().getTransitions().get(0);
+
+        // local mean time
+        assertAroundEqual(converter, firstTransition.getInstant().minusSeconds(12 * 60 * 60).toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("1800-01-01T23:30:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void toEpochDayAfterCachedTransitions() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+
+        assertAroundEqual(converter, Instant.parse("2100-01-01T00:00:00Z").toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("2100-03-28T01:00:00Z").toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("2150-10-25T01:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void toEpochDayFixedOffset() {
+        EpochDayConverter converter = new EpochDayConverter(ZoneOffset.UTC);
+
+        assertAroundEqual(converter, 0);
+        assertAroundEqual(converter, Instant.parse("2019-03-31T00:00:00Z").toEpochMilli());
+        assertAroundEqual(converter, Instant.parse("2200-01-01T00:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    public void toEpochDayNegativeEpochMillis() {
+        EpochDayConverter zurichConverter = new EpochDayConverter(ZURICH);
+        EpochDayConverter utcConverter = new EpochDayConverter(ZoneOffset.UTC);
+
+        assertAroundEqual(zurichConverter, 0);
+        assertAroundEqual(zurichConverter, Instant.parse("1969-12-31T23:00:00Z").toEpochMilli());
+        assertAroundEqual(zurichConverter, Instant.parse("1944-05-15T00:30:00Z").toEpochMilli());
+        assertAroundEqual(utcConverter, -1);
+        assertEquals(-1, utcConverter.toEpochDay(-1));
+        assertEquals(-1, utcConverter.toEpochDay(-24 * 60 * 60 * 1000L));
+        assertEquals(-2, utcConverter.toEpochDay(-24 * 60 * 60 * 1000L - 1));
+    }
+
+    @Test
+    public void toLocalDate() {
+        EpochDayConverter converter = new EpochDayConverter(ZURICH);
+
+        assertEquals(LocalDate.of(2019, 3, 31), converter.toLocalDate(Instant.parse("2019-03-30T23:00:00Z").toEpochMilli()));
+        assertEquals(LocalDate.of(2019, 3, 30), converter.toLocalDate(Instant.parse("2019-03-30T22:59:59.999Z").toEpochMilli()));
+    }
+
+    private static void assertAroundEqual(EpochDayConverter converter, long epochMilli) {
+        for (long delta = -1; delta <= 1; delta++) {
+            long value = epochMilli + delta;
+            long expected = Instant.ofEpochMilli(value).atZone(converter.getZoneId()).toLocalDate().toEpochDay();
+            assertEquals(expected, converter.toEpochDay(value), () -> "epochMilli: " + value);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.drombler.media.importing.synthetic;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic inbox together with the album trees configured in its media storage configuration.
+ *
+ * @author Florian
+ */
+public class SyntheticMediaDataset {
+
+    private final Path rootDir;
+    private final Path mediaRootDir;
+    private final Path mediaStoragesConfigFile;
+    private final SyntheticNamingScheme namingScheme;
+    private final int fileCount;
+    private final int eventCount;
+
+    public SyntheticMediaDataset(Path rootDir, Path mediaRootDir, Path mediaStoragesConfigFile, SyntheticNamingScheme namingScheme,
+            int fileCount, int eventCount) {
+        this.rootDir = rootDir;
+        this.mediaRootDir = mediaRootDir;
+        this.mediaStoragesConfigFile = mediaStoragesConfigFile;
+        this.namingScheme = namingScheme;
+        this.fileCount = fileCount;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * @return the root dir containing the inbox, the albums and the media storage configuration
+     */
+    public Path getRootDir() {
+        return rootDir;
+    }
+
+    /**
+     * @return the inbox to organize
+     */
+    public Path getMediaRootDir() {
+        return mediaRootDir;
+    }
+
+    /**
+     * @return the generated {@code media-storages.json}
+     */
+    public Path getMediaStoragesConfigFile() {
+        return mediaStoragesConfigFile;
+    }
+
+    /**
+     * @return the naming scheme of the inbox
+     */
+    public SyntheticNamingScheme getNamingScheme() {
+        return namingScheme;
+    }
+
+    /**
+     * @return the number of files in the inbox
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * @return the number of event dirs in all albums
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Deletes the whole dataset.
+     *
+     * @throws IOException
+     */
+    public void delete() throws IOException {
+        try (Stream<Path> paths = Files.walk(rootDir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.drombler.media.importing.synthetic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.drombler.event.core.AllDayEventDuration;
+import org.drombler.event.core.Event;
+import org.drombler.event.core.format.EventDirNameFormatter;
+import org.drombler.media.core.MediaStorageType;
+import org.drombler.media.importing.core.AbstractMediaOrganizer;
+import org.softsmithy.lib.text.FormatException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic inboxes for the supported naming schemes together with matching album trees and a
+ * {@code media-storages.json} pointing to them. The same seed, date range, zone and file count always produce the same
+ * dataset.
+ *
+ * @author Florian
+ */
+@Slf4j
+public class SyntheticMediaDatasetGenerator {
+
+    private static final String INBOX_DIR_NAME = "inbox";
+    private static final String ALBUMS_DIR_NAME = "albums";
+    private static final String MEDIA_STORAGES_FILE_NAME = "media-storages.json";
+    private static final int PROGRESS_LOG_INTERVAL = 100000;
+
+    private static final List<String> EVENT_NAMES = Arrays.asList("Ausflug", "Geburtstag", "Ferien", "Hochzeit", "Konzert",
+            "Wanderung", "Weihnachten", "Skiweekend", "Taufe", "Fest");
+    private static final List<AlbumStorage> ALBUM_STORAGES = Arrays.asList(
+            new AlbumStorage("albums-shared", "Alben", MediaStorageType.OWNER_EVENTS, "photo"),
+            new AlbumStorage("albums-others", "Alben (andere)", MediaStorageType.OTHER_EVENTS, "photo"),
+            new AlbumStorage("albums-private", "Alben (privat)", MediaStorageType.PRIVATE_EVENTS, "photo", "image"),
+            new AlbumStorage("privatvideo", "Privat Video", MediaStorageType.OWNER_EVENTS, "video"));
+
+    private final long seed;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final ZoneId zoneId;
+    private final int videoPercentage;
+    private final int eventDayPercentage;
+
+    /**
+     * Creates a new instance with 10% videos and events starting on roughly 10% of the days.
+     *
+     * @param seed the random seed
+     * @param firstDate the first capture date (inclusive)
+     * @param lastDate the last capture date (inclusive)
+     * @param zoneId the zone used to calculate the epoch millis of epoch based naming schemes
+     */
+    public SyntheticMediaDatasetGenerator(long seed, LocalDate firstDate, LocalDate lastDate, ZoneId zoneId) {
+        this(seed, firstDate, lastDate, zoneId, 10, 10);
+    }
+
+    public SyntheticMediaDatasetGenerator(long seed, LocalDate firstDate, LocalDate lastDate, ZoneId zoneId, int videoPercentage,
+            int eventDayPercentage) {
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException("lastDate must not be before firstDate!");
+        }
+        this.seed = seed;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.zoneId = zoneId;
+        this.videoPercentage = videoPercentage;
+        this.eventDayPercentage = eventDayPercentage;
+    }
+
+    /**
+     * Generates a new dataset.
+     *
+     * @param rootDir an empty or non-existing directory
+     * @param namingScheme the naming scheme of the inbox
+     * @param fileCount the number of files in the inbox
+     * @return the generated dataset
+     * @throws IOException
+     */
+    public SyntheticMediaDataset generate(Path rootDir, SyntheticNamingScheme namingScheme, int fileCount) throws IOException {
+        Random random = new Random(seed);
+        Path mediaRootDir = Files.createDirectories(rootDir.resolve(INBOX_DIR_NAME));
+        createImportDirs(mediaRootDir);
+
+        Path albumsRootDir = rootDir.resolve(ALBUMS_DIR_NAME);
+        int eventCount = 0;
+        for (AlbumStorage albumStorage : ALBUM_STORAGES) {
+            eventCount += createAlbum(albumsRootDir.resolve(albumStorage.id), random);
+        }
+        Path mediaStoragesConfigFile = rootDir.resolve(MEDIA_STORAGES_FILE_NAME);
+        writeMediaStoragesConfig(mediaStoragesConfigFile, albumsRootDir);
+
+        if (namingScheme.isDirectories()) {
+            createDateDirInbox(mediaRootDir, namingScheme, fileCount, random);
+        } else {
+            createFlatInbox(mediaRootDir, namingScheme, fileCount, random);
+        }
+        log.info("Generated {} {} files and {} events in {}", fileCount, namingScheme, eventCount, rootDir);
+        return new SyntheticMediaDataset(rootDir, mediaRootDir, mediaStoragesConfigFile, namingScheme, fileCount, eventCount);
+    }
+
+    private void createImportDirs(Path mediaRootDir) throws IOException {
+        Properties mediaImportingProperties = new Properties();
+        try (InputStream is = AbstractMediaOrganizer.class.getResourceAsStream("media-importing.properties")) {
+            mediaImportingProperties.load(is);
+        }
+        Files.createDirectories(mediaRootDir.resolve(mediaImportingProperties.getProperty("photoDir")));
+        Files.createDirectories(mediaRootDir.resolve(mediaImportingProperties.getProperty("videoDir")));
+    }
+
+    private int createAlbum(Path albumDir, Random random) throws IOException {
+        Files.createDirectories(albumDir);
+        EventDirNameFormatter formatter = new EventDirNameFormatter();
+        int eventCount = 0;
+        LocalDate date = firstDate;
+        while (!date.isAfter(lastDate)) {
+            if (random.nextInt(100) < eventDayPercentage) {
+                LocalDate endDate = date.plusDays(random.nextInt(3));
+                if (endDate.isAfter(lastDate)) {
+                    endDate = lastDate;
+                }
+                Event event = Event.builder()
+                        .name(EVENT_NAMES.get(random.nextInt(EVENT_NAMES.size())) + " " + (eventCount + 1))
+                        .duration(new AllDayEventDuration(date, endDate))
+                        .build();
+                Files.createDirectory(albumDir.resolve(formatEventDirName(formatter, event)));
+                eventCount++;
+                date = endDate;
+            }
+            date = date.plusDays(1);
+        }
+        return eventCount;
+    }
+
+    private static String formatEventDirName(EventDirNameFormatter formatter, Event event) throws IOException {
+        try {
+            return formatter.format(event);
+        } catch (FormatException ex) {
+            throw new IOException("Could not format event dir name: " + event, ex);
+        }
+    }
+
+    private void writeMediaStoragesConfig(Path mediaStoragesConfigFile, Path albumsRootDir) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(mediaStoragesConfigFile, StandardCharsets.UTF_8)) {
+            writer.write("{\n    \"mediaStorageConfigurations\": [\n");
+            for (int i = 0; i < ALBUM_STORAGES.size(); i++) {
+                AlbumStorage albumStorage = ALBUM_STORAGES.get(i);
+                writer.write("        {\n");
+                writer.write("            \"id\": " + toJsonString(albumStorage.id) + ",\n");
+                writer.write("            \"name\": " + toJsonString(albumStorage.name) + ",\n");
+                writer.write("            \"mediaRootDir\": " + toJsonString(albumsRootDir.resolve(albumStorage.id).toString()) + ",\n");
+                writer.write("            \"type\": " + toJsonString(albumStorage.type.name()) + ",\n");
+                writer.write("            \"legacyEventDirNames\": false,\n");
+                writer.write("            \"supportedMediaCategoryIds\": [\n");
+                for (int j = 0; j < albumStorage.supportedMediaCategoryIds.size(); j++) {
+                    writer.write("                " + toJsonString(albumStorage.supportedMediaCategoryIds.get(j))
+                            + (j < albumStorage.supportedMediaCategoryIds.size() - 1 ? ",\n" : "\n"));
+                }
+                writer.write("            ]\n");
+                writer.write(i < ALBUM_STORAGES.size() - 1 ? "        },\n" : "        }\n");
+            }
+            writer.write("    ]\n}\n");
+        }
+    }
+
+    private static String toJsonString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void createFlatInbox(Path mediaRootDir, SyntheticNamingScheme namingScheme, int fileCount, Random random) throws IOException {
+        LocalDateTime start = firstDate.atStartOfDay();
+        long rangeSeconds = ChronoUnit.SECONDS.between(start, lastDate.plusDays(1).atStartOfDay());
+        if (fileCount > rangeSeconds) {
+            throw new IllegalArgumentException("Date range too short for " + fileCount + " unique timestamps!");
+        }
+        // one file per slot keeps the second-resolution file names unique
+        long slotSeconds = rangeSeconds / Math.max(fileCount, 1);
+        for (int i = 0; i < fileCount; i++) {
+            LocalDateTime timestamp = start.plusSeconds(i * slotSeconds + (long) (random.nextDouble() * slotSeconds));
+            long epochMilli = timestamp.atZone(zoneId).toInstant().toEpochMilli() + random.nextInt(1000);
+            String fileName = namingScheme.getFileName(timestamp, epochMilli, random.nextInt(100), nextFileExtension(random));
+            Files.createFile(mediaRootDir.resolve(fileName));
+            logProgress(i + 1, fileCount);
+        }
+    }
+
+    private void createDateDirInbox(Path mediaRootDir, SyntheticNamingScheme namingScheme, int fileCount, Random random) throws IOException {
+        long days = ChronoUnit.DAYS.between(firstDate, lastDate) + 1;
+        Path dateDir = null;
+        long currentDayIndex = -1;
+        int fileIndex = 0;
+        for (int i = 0; i < fileCount; i++) {
+            long dayIndex = i * days / fileCount;
+            if (dayIndex != currentDayIndex) {
+                currentDayIndex = dayIndex;
+                dateDir = Files.createDirectory(mediaRootDir.resolve(namingScheme.getDirName(firstDate.plusDays(dayIndex))));
+                fileIndex = 0;
+            }
+            LocalDateTime timestamp = firstDate.plusDays(dayIndex).atStartOfDay();
+            long epochMilli = timestamp.atZone(zoneId).toInstant().toEpochMilli();
+            String fileName = namingScheme.getFileName(timestamp, epochMilli, ++fileIndex, nextFileExtension(random));
+            Files.createFile(dateDir.resolve(fileName));
+            logProgress(i + 1, fileCount);
+        }
+    }
+
+    private String nextFileExtension(Random random) {
+        return random.nextInt(100) < videoPercentage ? "mp4" : "jpg";
+    }
+
+    private static void logProgress(int createdFiles, int fileCount) {
+        if (createdFiles % PROGRESS_LOG_INTERVAL == 0) {
+            log.info("Created {}/{} files", createdFiles, fileCount);
+        }
+    }
+
+    private static class AlbumStorage {
+
+        private final String id;
+        private final String name;
+        private final MediaStorageType type;
+        private final List<String> supportedMediaCategoryIds;
+
+        public AlbumStorage(String id, String name, MediaStorageType type, String... supportedMediaCategoryIds) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.supportedMediaCategoryIds = Arrays.asList(supportedMediaCategoryIds);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.drombler.media.importing.synthetic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The raw file and directory naming schemes supported by the media organizers.
+ *
+ * @author Florian
+ */
+public enum SyntheticNamingScheme {
+
+    /**
+     * {@code IMG_yyyyMMdd_HHmmss.ext} files as imported from an iPhone.
+     */
+    IPHONE(false) {
+        @Override
+        public String getFileName(LocalDateTime timestamp, long epochMilli, int prefix, String fileExtension) {
+            return "IMG_" + TIMESTAMP_FORMATTER.format(timestamp) + "." + fileExtension;
+        }
+    },
+    /**
+     * {@code yyyyMMdd_HHmmss.ext} files as imported from a Samsung Galaxy.
+     */
+    SAMSUNG(false) {
+        @Override
+        public String getFileName(LocalDateTime timestamp, long epochMilli, int prefix, String fileExtension) {
+            return TIMESTAMP_FORMATTER.format(timestamp) + "." + fileExtension;
+        }
+    },
+    /**
+     * Files prefixed with digits followed by the 13-digit epoch millis as saved by Threema.
+     */
+    THREEMA(false) {
+        @Override
+        public String getFileName(LocalDateTime timestamp, long epochMilli, int prefix, String fileExtension) {
+            return String.format("%02d%013d.%s", prefix, epochMilli, fileExtension);
+        }
+    },
+    /**
+     * {@code MM-dd-yyyy} directories as created by Panasonic HD Writer AE.
+     */
+    PANASONIC(true) {
+        @Override
+        public String getFileName(LocalDateTime timestamp, long epochMilli, int prefix, String fileExtension) {
+            return String.format("%05d.%s", prefix, fileExtension);
+        }
+
+        @Override
+        public String getDirName(LocalDate date) {
+            return DIR_DATE_FORMATTER.format(date);
+        }
+    };
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final DateTimeFormatter DIR_DATE_FORMATTER = DateTimeFormatter.ofPattern("MM-dd-yyyy");
+
+    private final boolean directories;
+
+    private SyntheticNamingScheme(boolean directories) {
+        this.directories = directories;
+    }
+
+    /**
+     * @return true, if the date is encoded in the directory name rather than in the file name
+     */
+    public boolean isDirectories() {
+        return directories;
+    }
+
+    /**
+     * Gets the raw file name.
+     *
+     * @param timestamp the local capture time
+     * @param epochMilli the capture time in epoch millis
+     * @param prefix a scheme specific number (sender prefix or file counter)
+     * @param fileExtension the file extension
+     * @return the raw file name
+     */
+    public abstract String getFileName(LocalDateTime timestamp, long epochMilli, int prefix, String fileExtension);
+
+    /**
+     * Gets the raw directory name. Only supported if {@link #isDirectories()} is true.
+     *
+     * @param date the capture date
+     * @return the raw directory name
+     */
+    public String getDirName(LocalDate date) {
+        throw new UnsupportedOperationException(name() + " does not use date directories!");
+    }
+}